@@ -1,4 +1,5 @@
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Calendar;
 import java.util.GregorianCalendar;
 import java.util.HashMap;
@@ -20,7 +21,8 @@ public class CalendarManager {
 	// Internal state
 	private Calendar currentDate;
 	private ArrayList<Calendar> calendarDays;
-	private final Map<Calendar, ArrayList<String>> meetings;
+	private final Map<Calendar, DayMeetings> meetings; // Text handles per date
+	private final MeetingTextStore meetingTexts; // Shared, deduplicated texts
 
 	/**
 	 * Creates a CalendarManager for a given initial date (usually "today"). It also
@@ -31,7 +33,8 @@ public class CalendarManager {
 	public CalendarManager(Calendar date) {
 		this.currentDate = date;
 		calendarDays = new ArrayList<Calendar>();
-		this.meetings = new HashMap<Calendar, ArrayList<String>>();
+		this.meetings = new HashMap<Calendar, DayMeetings>();
+		this.meetingTexts = new MeetingTextStore();
 		fillCalendarDays();
 	}
 
@@ -101,32 +104,98 @@ public class CalendarManager {
 
 	/**
 	 * Adds a new meeting message to a given date. If the date has no existing
-	 * meetings, a new list is created.
+	 * meetings, an empty entry is created for it first.
 	 *
 	 * @param date    the date to which the meeting should be added
 	 * @param message the message content (ignored if null or empty)
 	 */
 	public void addMeeting(Calendar date, String message) {
-		if (!meetings.containsKey(date)) {
-			meetings.put(date, new ArrayList<>());
+		DayMeetings day = meetings.get(date);
+		if (day == null) {
+			day = new DayMeetings(new int[0]);
+			meetings.put(date, day);
 		}
 		if (message != null && !message.trim().isEmpty()) {
-			meetings.get(date).add(message);
+			day.add(meetingTexts.intern(message));
 		}
 	}
 
 	/**
-	 * Returns a list of meeting messages for a specific date.
+	 * Returns a list of meeting messages for a specific date. The list is a fresh
+	 * copy built from the stored text handles.
 	 *
 	 * @param date the date to retrieve messages for
 	 * @return a list of meeting strings (or an empty list if none exist)
 	 */
 	public ArrayList<String> getMeetingsForDate(Calendar date) {
-		return meetings.getOrDefault(date, new ArrayList<>());
+		DayMeetings day = meetings.get(date);
+		if (day == null) {
+			return new ArrayList<>();
+		}
+		ArrayList<String> result = new ArrayList<>(day.count);
+		for (int i = 0; i < day.count; i++) {
+			result.add(meetingTexts.get(day.handles[i]));
+		}
+		return result;
 	}
 
+	/**
+	 * Replaces all meetings of a given date with the given list.
+	 *
+	 * @param date        the date whose meetings are replaced
+	 * @param updatedList the new meeting messages for that date
+	 */
 	public void updateMeetings(Calendar date, ArrayList<String> updatedList) {
-		meetings.put(date, updatedList);
+		int[] handles = new int[updatedList.size()];
+		for (int i = 0; i < handles.length; i++) {
+			handles[i] = meetingTexts.intern(updatedList.get(i));
+		}
+		DayMeetings previous = meetings.put(date, new DayMeetings(handles));
+
+		// Released after interning, so texts that are kept are never removed
+		if (previous != null) {
+			for (int i = 0; i < previous.count; i++) {
+				meetingTexts.release(previous.handles[i]);
+			}
+		}
+	}
+
+	/**
+	 * @return the number of distinct meeting texts currently stored (used by the
+	 *         footprint report)
+	 */
+	int getDistinctMeetingTexts() {
+		return meetingTexts.size();
+	}
+
+	/**
+	 * The text handles of one day. The array grows by doubling, so only the
+	 * first count entries are meetings and up to half of it can be unused.
+	 * updateMeetings() replaces it with an array of the exact size.
+	 */
+	private static class DayMeetings {
+		private int[] handles;
+		private int count;
+
+		/**
+		 * @param handles the initial handles (the array is used as is and is full)
+		 */
+		DayMeetings(int[] handles) {
+			this.handles = handles;
+			this.count = handles.length;
+		}
+
+		/**
+		 * Appends a handle, doubling the array when it is full.
+		 *
+		 * @param handle the text handle to append
+		 */
+		void add(int handle) {
+			if (count == handles.length) {
+				handles = Arrays.copyOf(handles, Math.max(4, handles.length * 2));
+			}
+			handles[count++] = handle;
+		}
 	}
 
 }
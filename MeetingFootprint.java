@@ -0,0 +1,93 @@
+import java.util.ArrayList;
+import java.util.Calendar;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * MeetingFootprint reports how much heap the meetings of a synthetic calendar
+ * take, per meeting: - "before": one String with its own characters per
+ * meeting in an ArrayList per day, the way CalendarManager stored meetings
+ * before MeetingTextStore - "after": the current CalendarManager right after
+ * seeding, including the unused capacity of the per-day arrays
+ *
+ * Both numbers include the map entries and Calendar keys. The workload uses the
+ * same -Dload.* properties as MyCalendarLoadTest. Heap use is read from Runtime
+ * after repeated System.gc() calls, so run it with a fixed heap (e.g. -Xmx4g)
+ * and no other load.
+ */
+public class MeetingFootprint {
+
+	private static final int MEETINGS = Integer.getInteger("load.meetings", 1000000);
+	private static final int SPAN_DAYS = Integer.getInteger("load.spanDays", 3650);
+	private static final double SKEW = Double.parseDouble(System.getProperty("load.skew", "0"));
+	private static final int DISTINCT_TEXTS = Integer.getInteger("load.distinctTexts", 300);
+	private static final int TEXT_LENGTH = Integer.getInteger("load.textLength", 30);
+	private static final long SEED = Long.getLong("load.seed", 42L);
+
+	public static void main(String[] args) {
+		Calendar firstMonth = Calendar.getInstance();
+		MeetingGenerator generator = new MeetingGenerator(MEETINGS, SPAN_DAYS, SKEW, DISTINCT_TEXTS, TEXT_LENGTH,
+				SEED);
+		Calendar[] days = generator.buildDays(firstMonth); // Only used for reading, not counted
+
+		// After: the current CalendarManager
+		long base = usedHeap();
+		CalendarManager calendarManager = new CalendarManager(firstMonth);
+		generator.fill(calendarManager, firstMonth);
+		long after = usedHeap() - base;
+
+		// Before: one String per meeting, each with its own characters (a text typed
+		// into the dialog is a new String), the way addMeeting used to keep them
+		base = usedHeap();
+		Map<Calendar, ArrayList<String>> plainMeetings = new HashMap<Calendar, ArrayList<String>>();
+		for (Calendar day : days) {
+			ArrayList<String> list = new ArrayList<String>();
+			for (String meeting : calendarManager.getMeetingsForDate(day)) {
+				list.add(new String(meeting.toCharArray()));
+			}
+			plainMeetings.put((Calendar) day.clone(), list);
+		}
+		long before = usedHeap() - base;
+
+		System.out.println("load.meetings=" + MEETINGS);
+		System.out.println("load.spanDays=" + SPAN_DAYS);
+		System.out.println("load.skew=" + SKEW);
+		System.out.println("load.distinctTexts=" + DISTINCT_TEXTS);
+		System.out.println("load.textLength=" + TEXT_LENGTH);
+		System.out.println("load.seed=" + SEED);
+		System.out.println("java.version=" + System.getProperty("java.version"));
+		System.out.println("before.bytesPerMeeting=" + perMeeting(before));
+		System.out.println("after.bytesPerMeeting=" + perMeeting(after));
+		System.out.println("after.distinctTexts=" + calendarManager.getDistinctMeetingTexts());
+
+		// Keep both structures reachable until everything was measured
+		System.out.println("days=" + plainMeetings.size() + " (" + calendarManager.getCalendarDays().size()
+				+ " grid days)");
+	}
+
+	/**
+	 * @param bytes a heap size in bytes
+	 * @return the size divided by the number of meetings, with two decimals
+	 */
+	private static String perMeeting(long bytes) {
+		return String.format(java.util.Locale.ROOT, "%.2f", (double) bytes / MEETINGS);
+	}
+
+	/**
+	 * Runs the garbage collector a few times and returns the heap in use.
+	 *
+	 * @return used heap in bytes
+	 */
+	private static long usedHeap() {
+		Runtime runtime = Runtime.getRuntime();
+		for (int i = 0; i < 5; i++) {
+			System.gc();
+			try {
+				Thread.sleep(50);
+			} catch (InterruptedException e) {
+				Thread.currentThread().interrupt();
+			}
+		}
+		return runtime.totalMemory() - runtime.freeMemory();
+	}
+}
@@ -0,0 +1,133 @@
+import java.util.Calendar;
+import java.util.GregorianCalendar;
+import java.util.Random;
+
+/**
+ * MeetingGenerator fills a CalendarManager with synthetic meetings. It is used
+ * by the load test to reproduce large calendars.
+ *
+ * The workload is controlled by: - the number of meetings - the number of days
+ * they are spread over - the skew towards the first days of that range - the
+ * number of distinct meeting texts and their length
+ */
+public class MeetingGenerator {
+
+	private final int meetingCount;
+	private final int spanDays;
+	private final double skew;
+	private final int distinctTexts;
+	private final int textLength;
+	private final Random random;
+
+	/**
+	 * Creates a generator for a given workload.
+	 *
+	 * @param meetingCount  total number of meetings to add
+	 * @param spanDays      number of days (starting at the first day) to spread
+	 *                      meetings over
+	 * @param skew          0 for a uniform spread, larger values put more meetings
+	 *                      on the first days
+	 * @param distinctTexts number of different meeting texts to draw from
+	 * @param textLength    length of every meeting text (see buildTexts())
+	 * @param seed          random seed, so runs can be repeated
+	 * @throws IllegalArgumentException if a setting is out of range
+	 */
+	public MeetingGenerator(int meetingCount, int spanDays, double skew, int distinctTexts, int textLength,
+			long seed) {
+		checkSettings(meetingCount, spanDays, skew, distinctTexts, textLength);
+		this.meetingCount = meetingCount;
+		this.spanDays = spanDays;
+		this.skew = skew;
+		this.distinctTexts = distinctTexts;
+		this.textLength = textLength;
+		this.random = new Random(seed);
+	}
+
+	/**
+	 * Checks that a workload can be generated. Called by the constructor, and
+	 * usable before that to fail early with a clear message.
+	 *
+	 * @param meetingCount  total number of meetings, 0 or more
+	 * @param spanDays      number of days, at least 1
+	 * @param skew          more than -1 (at -1 every meeting falls past the range)
+	 * @param distinctTexts number of different texts, at least 1
+	 * @param textLength    length of every text, 0 or more
+	 * @throws IllegalArgumentException if a setting is out of range
+	 */
+	static void checkSettings(int meetingCount, int spanDays, double skew, int distinctTexts, int textLength) {
+		if (meetingCount < 0) {
+			throw new IllegalArgumentException("meeting count must be 0 or more: " + meetingCount);
+		}
+		if (spanDays < 1) {
+			throw new IllegalArgumentException("span must be at least 1 day: " + spanDays);
+		}
+		if (!(skew > -1)) {
+			throw new IllegalArgumentException("skew must be more than -1: " + skew);
+		}
+		if (distinctTexts < 1) {
+			throw new IllegalArgumentException("there must be at least 1 distinct text: " + distinctTexts);
+		}
+		if (textLength < 0) {
+			throw new IllegalArgumentException("text length must be 0 or more: " + textLength);
+		}
+	}
+
+	/**
+	 * Adds the synthetic meetings to the given manager, starting at the first day
+	 * of the month of firstDate.
+	 *
+	 * @param calendarManager the manager to fill
+	 * @param firstDate       any date in the first month of the range
+	 */
+	public void fill(CalendarManager calendarManager, Calendar firstDate) {
+		Calendar[] days = buildDays(firstDate);
+		String[] texts = buildTexts();
+
+		for (int i = 0; i < meetingCount; i++) {
+			// pow() of a uniform value pushes the index towards 0 as skew grows. For
+			// skew close to -1 it can round up to 1.0, hence the clamp.
+			int dayIndex = Math.min((int) (spanDays * Math.pow(random.nextDouble(), 1 + skew)), spanDays - 1);
+			calendarManager.addMeeting(days[dayIndex], texts[random.nextInt(texts.length)]);
+		}
+	}
+
+	/**
+	 * Creates the Calendar keys for every day in the range, built the same way
+	 * as the days of the calendar grid so they match as map keys.
+	 *
+	 * @param firstDate any date in the first month of the range
+	 * @return an array of spanDays sequential days
+	 */
+	Calendar[] buildDays(Calendar firstDate) {
+		Calendar day = new GregorianCalendar(firstDate.get(Calendar.YEAR), firstDate.get(Calendar.MONTH), 1);
+		Calendar[] days = new Calendar[spanDays];
+		for (int i = 0; i < spanDays; i++) {
+			days[i] = (Calendar) day.clone();
+			day.add(Calendar.DAY_OF_MONTH, 1);
+		}
+		return days;
+	}
+
+	/**
+	 * Creates the pool of meeting texts. Every text ends with its number (" #i")
+	 * so they are all different, and is padded in front to textLength
+	 * characters. When the number alone is longer than textLength, the text is
+	 * just the number.
+	 *
+	 * @return the distinct meeting texts
+	 */
+	private String[] buildTexts() {
+		String letters = "פגישה meeting ";
+		String[] texts = new String[distinctTexts];
+		for (int i = 0; i < distinctTexts; i++) {
+			String suffix = " #" + i;
+			StringBuilder text = new StringBuilder();
+			while (text.length() + suffix.length() < textLength) {
+				text.append(letters.charAt(text.length() % letters.length()));
+			}
+			text.append(suffix);
+			texts[i] = text.toString();
+		}
+		return texts;
+	}
+}
@@ -0,0 +1,113 @@
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * MeetingTextStore keeps every distinct meeting text exactly once and hands out
+ * small int handles for it. Repeated texts ("standup", room names, ...) share a
+ * single String instead of one copy per meeting.
+ *
+ * Every handle is reference counted: intern() adds a reference and release()
+ * drops one. When the last reference is gone the text is removed and its handle
+ * is reused for the next new text, so edited or deleted meetings do not stay in
+ * the store.
+ *
+ * Each distinct text costs a map entry, a boxed Integer, a list slot and a
+ * counter (roughly 50-60 bytes) on top of the String itself. This pays off
+ * when texts repeat; for a calendar where almost every text is unique it uses
+ * more memory than keeping plain Strings per day.
+ */
+public class MeetingTextStore {
+
+	// Distinct texts, indexed by handle (null for free handles)
+	private final ArrayList<String> texts;
+	// Reverse lookup from text to its handle
+	private final Map<String, Integer> handles;
+	// Number of references to each handle
+	private int[] refCounts;
+	// Handles that were released and can be reused
+	private int[] freeHandles;
+	private int freeCount;
+
+	/**
+	 * Creates an empty text store.
+	 */
+	public MeetingTextStore() {
+		this.texts = new ArrayList<String>();
+		this.handles = new HashMap<String, Integer>();
+		this.refCounts = new int[16];
+		this.freeHandles = new int[16];
+	}
+
+	/**
+	 * Returns the handle for the given text and adds a reference to it. The text
+	 * is added to the store if it is not there yet.
+	 *
+	 * @param text the meeting text to store
+	 * @return the int handle representing this text
+	 */
+	public int intern(String text) {
+		Integer handle = handles.get(text);
+		if (handle == null) {
+			handle = newHandle(text);
+			handles.put(text, handle);
+		}
+		refCounts[handle]++;
+		return handle;
+	}
+
+	/**
+	 * Drops one reference to a handle. The text is removed from the store when no
+	 * references are left.
+	 *
+	 * @param handle a handle previously returned by intern()
+	 */
+	public void release(int handle) {
+		if (--refCounts[handle] == 0) {
+			handles.remove(texts.get(handle));
+			texts.set(handle, null);
+			if (freeCount == freeHandles.length) {
+				freeHandles = Arrays.copyOf(freeHandles, freeHandles.length * 2);
+			}
+			freeHandles[freeCount++] = handle;
+		}
+	}
+
+	/**
+	 * Returns the text stored under a handle.
+	 *
+	 * @param handle a handle previously returned by intern()
+	 * @return the meeting text
+	 */
+	public String get(int handle) {
+		return texts.get(handle);
+	}
+
+	/**
+	 * @return the number of distinct texts held by the store
+	 */
+	public int size() {
+		return texts.size() - freeCount;
+	}
+
+	/**
+	 * Stores a new text under a free handle, or under a new one if none is free.
+	 *
+	 * @param text the text to store
+	 * @return the handle now holding the text
+	 */
+	private int newHandle(String text) {
+		if (freeCount > 0) {
+			int handle = freeHandles[--freeCount];
+			texts.set(handle, text);
+			return handle;
+		}
+		int handle = texts.size();
+		texts.add(text);
+		if (handle == refCounts.length) {
+			refCounts = Arrays.copyOf(refCounts, refCounts.length * 2);
+		}
+		return handle;
+	}
+}
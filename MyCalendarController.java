@@ -50,6 +50,14 @@ public class MyCalendarController {
 
 	}
 
+	/**
+	 * @return the calendar data manager behind this screen (used by the load test
+	 *         to seed meetings)
+	 */
+	CalendarManager getCalendarManager() {
+		return calendarManager;
+	}
+
 	/**
 	 * Triggered when a new date is selected from the DatePicker. Updates the
 	 * calendar view accordingly.
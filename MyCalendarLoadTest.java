@@ -0,0 +1,456 @@
+import java.io.IOException;
+import java.io.PrintWriter;
+import java.lang.management.GarbageCollectorMXBean;
+import java.lang.management.ManagementFactory;
+import java.util.ArrayList;
+import java.util.Calendar;
+import java.util.Collections;
+import java.util.Date;
+import java.util.GregorianCalendar;
+import java.util.List;
+import java.util.Locale;
+
+import javax.management.NotificationEmitter;
+import javax.management.openmbean.CompositeData;
+
+import com.sun.management.GarbageCollectionNotificationInfo;
+
+import javafx.animation.AnimationTimer;
+import javafx.application.Application;
+import javafx.application.Platform;
+import javafx.event.ActionEvent;
+import javafx.fxml.FXMLLoader;
+import javafx.scene.Parent;
+import javafx.scene.Scene;
+import javafx.scene.control.Button;
+import javafx.scene.control.DatePicker;
+import javafx.scene.control.ListView;
+import javafx.scene.control.TextField;
+import javafx.stage.Stage;
+
+/**
+ * Load test for the calendar UI. Seeds the calendar with synthetic meetings,
+ * then scripts month navigation and meeting dialog open/add/save while
+ * recording: - the time between frames (pulses) - the time of every scripted
+ * action - GC pauses - bytes allocated on the JavaFX thread
+ *
+ * The results are written as key=value lines so runs of different versions can
+ * be compared. All settings are read from system properties (see README). The
+ * run fails (exit code 1) if a dialog does not show the meetings seeded for its
+ * date.
+ */
+public class MyCalendarLoadTest extends Application {
+
+	// Workload settings
+	private static final int MEETINGS = Integer.getInteger("load.meetings", 100000);
+	private static final int SPAN_DAYS = Integer.getInteger("load.spanDays", 365);
+	private static final double SKEW = Double.parseDouble(System.getProperty("load.skew", "0"));
+	private static final int DISTINCT_TEXTS = Integer.getInteger("load.distinctTexts", 500);
+	private static final int TEXT_LENGTH = Integer.getInteger("load.textLength", 30);
+	private static final long SEED = Long.getLong("load.seed", 42L);
+
+	// Script settings
+	private static final int MONTHS = Integer.getInteger("load.months", 12);
+	private static final int DIALOG_EVERY = Integer.getInteger("load.dialogEvery", 1);
+	private static final int FRAMES_PER_STEP = Integer.getInteger("load.framesPerStep", 5);
+	private static final int WARMUP_FRAMES = Integer.getInteger("load.warmupFrames", 60);
+	private static final String REPORT_FILE = System.getProperty("load.report", "loadtest-report.txt");
+
+	private static final double FRAME_BUDGET_MS = 1000.0 / 60;
+
+	private final List<Runnable> steps = new ArrayList<Runnable>();
+	private final List<Long> frameTimes = new ArrayList<Long>(); // ns between pulses
+	private final List<Long> stepTimes = new ArrayList<Long>(); // ns per scripted action
+	private final List<Long> gcPauses = Collections.synchronizedList(new ArrayList<Long>()); // ms
+	private final List<Long> gcConcurrent = Collections.synchronizedList(new ArrayList<Long>()); // ms
+
+	private static volatile String failure; // Set when a check fails, null while all is well
+
+	private volatile boolean measuring;
+	private Stage openDialog;
+	private Calendar dialogDay; // Grid day of the open dialog
+	private int dialogExpected; // Meetings the open dialog must show
+	private int dialogMeetingsMax;
+	private long seedMillis;
+	private long startNanos;
+	private long startAllocated;
+
+	/**
+	 * Loads the main calendar screen, seeds it with synthetic meetings and starts
+	 * the scripted run.
+	 *
+	 * @param stage the primary window for the application
+	 * @throws Exception if FXML loading fails
+	 */
+	@Override
+	public void start(Stage stage) throws Exception {
+		FXMLLoader loader = new FXMLLoader(getClass().getResource("MyCalendar.fxml"));
+		Parent root = loader.load();
+		MyCalendarController controller = loader.getController();
+		CalendarManager calendarManager = controller.getCalendarManager();
+		Calendar firstMonth = (Calendar) calendarManager.getCurrentDate().clone();
+
+		long seedStart = System.nanoTime();
+		new MeetingGenerator(MEETINGS, SPAN_DAYS, SKEW, DISTINCT_TEXTS, TEXT_LENGTH, SEED).fill(calendarManager,
+				firstMonth);
+		seedMillis = (System.nanoTime() - seedStart) / 1000000;
+
+		stage.setTitle("לוח שנה - בדיקת עומס");
+		stage.setScene(new Scene(root));
+		stage.setWidth(700);
+		stage.setHeight(500);
+		stage.show();
+
+		DatePicker datePicker = (DatePicker) loader.getNamespace().get("datePicker");
+		buildScript(datePicker, calendarManager, firstMonth);
+		listenForGcPauses();
+		createFrameTimer().start();
+	}
+
+	/**
+	 * Builds the list of scripted actions: one navigation per month, and every
+	 * DIALOG_EVERY months a dialog that is opened, gets a new meeting, is saved
+	 * and is closed.
+	 *
+	 * @param datePicker      the date picker of the main screen
+	 * @param calendarManager the seeded calendar data manager
+	 * @param firstMonth      the month shown when the run starts
+	 */
+	private void buildScript(DatePicker datePicker, CalendarManager calendarManager, Calendar firstMonth) {
+		for (int i = 0; i < MONTHS; i++) {
+			// Built at midnight like the grid days, so it matches the seeded keys
+			Calendar month = new GregorianCalendar(firstMonth.get(Calendar.YEAR), firstMonth.get(Calendar.MONTH), 1);
+			month.add(Calendar.MONTH, i);
+
+			// Same path as the user typing a date: onDateSelected parses the editor text
+			steps.add(() -> {
+				datePicker.getEditor().setText(CalendarLogic.formatShortDate(month));
+				datePicker.fireEvent(new ActionEvent());
+			});
+
+			if (DIALOG_EVERY > 0 && i % DIALOG_EVERY == 0) {
+				steps.add(() -> openDialog(calendarManager, month));
+				steps.add(() -> saveAndCloseDialog(calendarManager));
+			}
+		}
+	}
+
+	/**
+	 * Opens the meeting dialog for a date without blocking the script, and checks
+	 * that it lists the meetings stored for the matching day of the grid.
+	 *
+	 * @param calendarManager the shared calendar data manager
+	 * @param date            the date whose meetings are shown
+	 * @throws IllegalStateException if the dialog does not show those meetings
+	 */
+	private void openDialog(CalendarManager calendarManager, Calendar date) {
+		dialogDay = findGridDay(calendarManager, date);
+		dialogExpected = calendarManager.getMeetingsForDate(dialogDay).size();
+		try {
+			openDialog = MyDialog.createDialogStage(date, calendarManager);
+			openDialog.show();
+		} catch (IOException e) {
+			e.printStackTrace();
+			throw new IllegalStateException("could not open the dialog for " + CalendarLogic.formatShortDate(date));
+		}
+
+		int shown = meetingList().getItems().size();
+		if (shown != dialogExpected) {
+			throw new IllegalStateException("dialog for " + CalendarLogic.formatShortDate(date) + " shows " + shown
+					+ " meetings, the grid day has " + dialogExpected);
+		}
+		dialogMeetingsMax = Math.max(dialogMeetingsMax, shown);
+	}
+
+	/**
+	 * Adds a meeting through the dialog's buttons, saves and closes the dialog.
+	 * Checks that the new meeting was stored on the grid day.
+	 *
+	 * @param calendarManager the shared calendar data manager
+	 * @throws IllegalStateException if the meeting did not reach the grid day
+	 */
+	private void saveAndCloseDialog(CalendarManager calendarManager) {
+		if (openDialog == null) {
+			return;
+		}
+		Parent root = openDialog.getScene().getRoot();
+		((TextField) root.lookup("#newMeetingField")).setText("בדיקת עומס");
+		((Button) root.lookup("#addBtn")).fire();
+		((Button) root.lookup("#saveBtn")).fire();
+		openDialog.close();
+		openDialog = null;
+
+		int stored = calendarManager.getMeetingsForDate(dialogDay).size();
+		if (stored != dialogExpected + 1) {
+			throw new IllegalStateException("after saving, " + CalendarLogic.formatShortDate(dialogDay) + " has "
+					+ stored + " meetings, expected " + (dialogExpected + 1));
+		}
+	}
+
+	/**
+	 * @return the meeting list of the open dialog
+	 */
+	@SuppressWarnings("unchecked")
+	private ListView<String> meetingList() {
+		return (ListView<String>) openDialog.getScene().getRoot().lookup("#meetingList");
+	}
+
+	/**
+	 * Returns the day of the visible grid that falls on the given date.
+	 *
+	 * @param calendarManager the shared calendar data manager
+	 * @param date            the date to look for
+	 * @return the grid day (the key the user's clicks would use)
+	 * @throws IllegalStateException if the date is not in the visible grid
+	 */
+	private static Calendar findGridDay(CalendarManager calendarManager, Calendar date) {
+		for (Calendar day : calendarManager.getCalendarDays()) {
+			if (CalendarLogic.isSameDate(day, date)) {
+				return day;
+			}
+		}
+		throw new IllegalStateException(CalendarLogic.formatShortDate(date) + " is not in the visible month");
+	}
+
+	/**
+	 * Creates the timer that runs once per pulse. It records the time since the
+	 * previous pulse and runs the next scripted action every FRAMES_PER_STEP
+	 * frames, once the warm-up frames are over.
+	 *
+	 * @return the frame timer (not started)
+	 */
+	private AnimationTimer createFrameTimer() {
+		return new AnimationTimer() {
+			private long lastFrame;
+			private int frame;
+			private int nextStep;
+
+			@Override
+			public void handle(long now) {
+				if (measuring) {
+					frameTimes.add(now - lastFrame);
+				}
+				lastFrame = now;
+				frame++;
+
+				if (frame == WARMUP_FRAMES) {
+					startMeasuring();
+				} else if (frame > WARMUP_FRAMES && frame % FRAMES_PER_STEP == 0) {
+					if (nextStep < steps.size()) {
+						long stepStart = System.nanoTime();
+						try {
+							steps.get(nextStep++).run();
+						} catch (IllegalStateException e) {
+							finish(e.getMessage()); // A check failed
+							return;
+						} catch (RuntimeException e) {
+							e.printStackTrace(); // Unexpected, e.g. a lookup that found nothing
+							finish(e.toString());
+							return;
+						}
+						stepTimes.add(System.nanoTime() - stepStart);
+					} else {
+						finish(null);
+					}
+				}
+			}
+
+			/**
+			 * Stops the run, writes the report and closes the application.
+			 *
+			 * @param failureMessage why the run failed, or null if it passed
+			 */
+			private void finish(String failureMessage) {
+				stop();
+				measuring = false;
+				failure = failureMessage;
+				if (failureMessage != null) {
+					System.err.println("Load test failed: " + failureMessage);
+				}
+				writeReport();
+				Platform.exit();
+			}
+		};
+	}
+
+	/**
+	 * Marks the start of the measured window (after warm-up).
+	 */
+	private void startMeasuring() {
+		startNanos = System.nanoTime();
+		startAllocated = allocatedBytes();
+		measuring = true;
+	}
+
+	/**
+	 * Registers a listener on every garbage collector that records the duration
+	 * of each collection during the measured window. Stop-the-world collections
+	 * count as pauses; the cycles of concurrent collectors (ZGC, Shenandoah, G1
+	 * concurrent marking) are kept apart, since most of that work runs next to
+	 * the application. Their pause phases come from the separate "Pauses" beans.
+	 */
+	private void listenForGcPauses() {
+		for (GarbageCollectorMXBean gc : ManagementFactory.getGarbageCollectorMXBeans()) {
+			if (!(gc instanceof NotificationEmitter)) {
+				continue;
+			}
+			((NotificationEmitter) gc).addNotificationListener((notification, handback) -> {
+				if (measuring && GarbageCollectionNotificationInfo.GARBAGE_COLLECTION_NOTIFICATION
+						.equals(notification.getType())) {
+					GarbageCollectionNotificationInfo info = GarbageCollectionNotificationInfo
+							.from((CompositeData) notification.getUserData());
+					if (isPause(info.getGcName())) {
+						gcPauses.add(info.getGcInfo().getDuration());
+					} else {
+						gcConcurrent.add(info.getGcInfo().getDuration());
+					}
+				}
+			}, null, null);
+		}
+	}
+
+	/**
+	 * @param gcName the name of the collector bean that sent a notification
+	 * @return true if its collections stop the application threads
+	 */
+	private static boolean isPause(String gcName) {
+		return !gcName.contains("Cycles") && !gcName.contains("Concurrent");
+	}
+
+	/**
+	 * @return the number of bytes allocated so far by the current (JavaFX) thread
+	 */
+	private static long allocatedBytes() {
+		com.sun.management.ThreadMXBean threads = (com.sun.management.ThreadMXBean) ManagementFactory
+				.getThreadMXBean();
+		return threads.getThreadAllocatedBytes(Thread.currentThread().getId());
+	}
+
+	/**
+	 * Writes the run settings and results to REPORT_FILE.
+	 */
+	private void writeReport() {
+		double seconds = (System.nanoTime() - startNanos) / 1e9;
+		long allocated = allocatedBytes() - startAllocated;
+		List<Long> pauses = new ArrayList<Long>(gcPauses);
+		long totalPause = 0;
+		long maxPause = 0;
+		for (long pause : pauses) {
+			totalPause += pause;
+			maxPause = Math.max(maxPause, pause);
+		}
+		List<Long> concurrent = new ArrayList<Long>(gcConcurrent);
+		long totalConcurrent = 0;
+		for (long cycle : concurrent) {
+			totalConcurrent += cycle;
+		}
+
+		try (PrintWriter out = new PrintWriter(REPORT_FILE, "UTF-8")) {
+			out.println("# MyCalendar load test report, " + new Date());
+			out.println("result=" + (failure == null ? "OK" : "FAILED: " + failure));
+			out.println("java.version=" + System.getProperty("java.version"));
+			out.println("javafx.version=" + System.getProperty("javafx.version"));
+			out.println("glass.platform=" + System.getProperty("glass.platform", "default"));
+			out.println("load.meetings=" + MEETINGS);
+			out.println("load.spanDays=" + SPAN_DAYS);
+			out.println("load.skew=" + SKEW);
+			out.println("load.distinctTexts=" + DISTINCT_TEXTS);
+			out.println("load.textLength=" + TEXT_LENGTH);
+			out.println("load.seed=" + SEED);
+			out.println("load.months=" + MONTHS);
+			out.println("load.dialogEvery=" + DIALOG_EVERY);
+			out.println("load.framesPerStep=" + FRAMES_PER_STEP);
+			out.println("load.warmupFrames=" + WARMUP_FRAMES);
+			out.println("seed.ms=" + seedMillis);
+			out.println("run.seconds=" + String.format(Locale.ROOT, "%.2f", seconds));
+			out.println("frames=" + frameTimes.size());
+			out.println("frame.p50.ms=" + percentileMillis(frameTimes, 50));
+			out.println("frame.p90.ms=" + percentileMillis(frameTimes, 90));
+			out.println("frame.p99.ms=" + percentileMillis(frameTimes, 99));
+			out.println("frame.max.ms=" + percentileMillis(frameTimes, 100));
+			out.println("frame.over16ms=" + countOver(frameTimes, FRAME_BUDGET_MS));
+			out.println("frame.over33ms=" + countOver(frameTimes, 2 * FRAME_BUDGET_MS));
+			out.println("steps=" + stepTimes.size());
+			out.println("step.p50.ms=" + percentileMillis(stepTimes, 50));
+			out.println("step.max.ms=" + percentileMillis(stepTimes, 100));
+			out.println("dialog.meetings.max=" + dialogMeetingsMax);
+			out.println("gc.pause.count=" + pauses.size());
+			out.println("gc.pause.total.ms=" + totalPause);
+			out.println("gc.pause.max.ms=" + maxPause);
+			out.println("gc.concurrent.count=" + concurrent.size());
+			out.println("gc.concurrent.total.ms=" + totalConcurrent);
+			out.println("alloc.fxThread.bytes=" + allocated);
+			out.println("alloc.fxThread.mbPerSec=" + String.format(Locale.ROOT, "%.2f", allocated / (1024.0 * 1024.0) / seconds));
+			System.out.println("Load test report written to " + REPORT_FILE);
+		} catch (IOException e) {
+			e.printStackTrace();
+		}
+	}
+
+	/**
+	 * Returns a percentile of nanosecond samples, in milliseconds.
+	 *
+	 * @param samples    the samples in nanoseconds
+	 * @param percentile 0 to 100 (100 is the maximum)
+	 * @return the percentile value in milliseconds, formatted to two decimals
+	 */
+	private static String percentileMillis(List<Long> samples, double percentile) {
+		if (samples.isEmpty()) {
+			return "0";
+		}
+		List<Long> sorted = new ArrayList<Long>(samples);
+		Collections.sort(sorted);
+		int index = (int) Math.ceil(percentile / 100 * sorted.size()) - 1;
+		return String.format(Locale.ROOT, "%.2f", sorted.get(Math.max(index, 0)) / 1e6);
+	}
+
+	/**
+	 * Counts the nanosecond samples that are longer than a limit.
+	 *
+	 * @param samples the samples in nanoseconds
+	 * @param limitMs the limit in milliseconds
+	 * @return the number of samples above the limit
+	 */
+	private static int countOver(List<Long> samples, double limitMs) {
+		int count = 0;
+		for (long sample : samples) {
+			if (sample / 1e6 > limitMs) {
+				count++;
+			}
+		}
+		return count;
+	}
+
+	/**
+	 * Checks every load.* setting, so a bad value fails before the window opens.
+	 *
+	 * @throws IllegalArgumentException if a setting is out of range
+	 */
+	private static void checkSettings() {
+		try {
+			MeetingGenerator.checkSettings(MEETINGS, SPAN_DAYS, SKEW, DISTINCT_TEXTS, TEXT_LENGTH);
+		} catch (IllegalArgumentException e) {
+			throw new IllegalArgumentException("invalid load.* setting: " + e.getMessage());
+		}
+		if (MONTHS < 0) {
+			throw new IllegalArgumentException("load.months must be 0 or more: " + MONTHS);
+		}
+		if (DIALOG_EVERY < 0) {
+			throw new IllegalArgumentException("load.dialogEvery must be 0 or more: " + DIALOG_EVERY);
+		}
+		if (FRAMES_PER_STEP < 1) {
+			throw new IllegalArgumentException("load.framesPerStep must be at least 1: " + FRAMES_PER_STEP);
+		}
+		if (WARMUP_FRAMES < 1) {
+			throw new IllegalArgumentException("load.warmupFrames must be at least 1: " + WARMUP_FRAMES);
+		}
+	}
+
+	public static void main(String[] args) {
+		checkSettings();
+		launch(args);
+		if (failure != null) {
+			System.exit(1);
+		}
+	}
+}
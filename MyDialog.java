@@ -23,25 +23,7 @@ public class MyDialog {
      */
 	public static void showDialog(Calendar datePressed, CalendarManager calendarManager) {
 		try {
-			// Load the FXML layout and controller
-			FXMLLoader loader = new FXMLLoader(MyDialog.class.getResource("MyDialog.fxml"));
-			Parent root = loader.load();
-
-            // Access the controller and pass data to it
-			MyDialogController controller = loader.getController();
-			controller.initData(datePressed, calendarManager);
-
-
-            // Create a new modal stage (blocking dialog)
-			Stage dialogStage = new Stage();
-			dialogStage.setTitle("ניהול פגישות");
-			dialogStage.initModality(Modality.APPLICATION_MODAL);
-			
-
-            // Set scene and display
-			dialogStage.setScene(new Scene(root));
-			dialogStage.setWidth(600);
-			dialogStage.setHeight(600);
+			Stage dialogStage = createDialogStage(datePressed, calendarManager);
 			dialogStage.showAndWait();
 
 			dialogStage.setMinWidth(500);
@@ -51,4 +33,36 @@ public class MyDialog {
 			e.printStackTrace();
 		}
 	}
+
+    /**
+     * Builds the meeting dialog stage without showing it.
+     * Also used by the load test, which cannot block on showAndWait().
+     *
+     * @param datePressed     the calendar date the user clicked
+     * @param calendarManager the shared calendar data manager
+     * @return the modal dialog stage, ready to be shown
+     * @throws IOException if the FXML file cannot be loaded
+     */
+	static Stage createDialogStage(Calendar datePressed, CalendarManager calendarManager) throws IOException {
+		// Load the FXML layout and controller
+		FXMLLoader loader = new FXMLLoader(MyDialog.class.getResource("MyDialog.fxml"));
+		Parent root = loader.load();
+
+        // Access the controller and pass data to it
+		MyDialogController controller = loader.getController();
+		controller.initData(datePressed, calendarManager);
+
+
+        // Create a new modal stage (blocking dialog)
+		Stage dialogStage = new Stage();
+		dialogStage.setTitle("ניהול פגישות");
+		dialogStage.initModality(Modality.APPLICATION_MODAL);
+
+
+        // Set scene
+		dialogStage.setScene(new Scene(root));
+		dialogStage.setWidth(600);
+		dialogStage.setHeight(600);
+		return dialogStage;
+	}
 }
\ No newline at end of file
@@ -0,0 +1,14 @@
+@echo off
+set JAVAFX_LIB="C:\Program Files\Java\javafx-sdk-23.0.2\lib"
+rem Runs in a normal window by default. For a headless run, download the
+rem org.testfx:openjfx-monocle jar that matches your JavaFX version, set its path
+rem below and remove "rem" from the HEADLESS line after it.
+set MONOCLE_JAR="C:\Program Files\Java\openjfx-monocle.jar"
+set HEADLESS=
+rem set HEADLESS=--patch-module javafx.graphics=%MONOCLE_JAR% -Dglass.platform=Monocle -Dmonocle.platform=Headless -Dprism.order=sw
+rem Workload and report settings, see README
+set LOAD_OPTS=-Dload.meetings=100000 -Dload.months=12 -Dload.report=loadtest-report.txt
+
+javac -encoding UTF-8 --module-path %JAVAFX_LIB% --add-modules javafx.controls,javafx.fxml *.java
+java --module-path %JAVAFX_LIB% --add-modules javafx.controls,javafx.fxml %HEADLESS% %LOAD_OPTS% MyCalendarLoadTest
+pause